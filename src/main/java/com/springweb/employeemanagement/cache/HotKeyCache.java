@@ -0,0 +1,129 @@
+package com.springweb.employeemanagement.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Decorates a cache so that every lookup and write is recorded by the {@link HotKeyTracker},
+ * and pinned hot keys are answered from the local tier without a round trip.
+ * Misses filled through {@link #get(Object, Callable)}, which is how {@code @Cacheable(sync = true)}
+ * reads, never reach {@link #put(Object, Object)}, so writes only show real churn from
+ * {@code @CachePut} and evictions. A put after a plain {@link #get(Object)} miss counts as a write.
+ */
+public class HotKeyCache implements Cache {
+
+    private final Cache delegate;
+    private final HotKeyTracker tracker;
+
+    public HotKeyCache(Cache delegate, HotKeyTracker tracker) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long reads = tracker.recordRead(key);
+        ValueWrapper pinned = tracker.getPinned(key);
+        if (pinned != null) {
+            return pinned;
+        }
+
+        ValueWrapper value = delegate.get(key);
+        if (value == null) {
+            tracker.recordMiss(key);
+        } else {
+            tracker.pinIfHot(key, value, reads);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        long reads = tracker.recordRead(key);
+        ValueWrapper pinned = tracker.getPinned(key);
+        if (pinned != null && (type == null || type.isInstance(pinned.get()))) {
+            return (T) pinned.get();
+        }
+
+        T value = delegate.get(key, type);
+        if (value == null) {
+            tracker.recordMiss(key);
+        } else {
+            tracker.pinIfHot(key, new SimpleValueWrapper(value), reads);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long reads = tracker.recordRead(key);
+        ValueWrapper pinned = tracker.getPinned(key);
+        if (pinned != null) {
+            return (T) pinned.get();
+        }
+
+        T value = delegate.get(key, () -> {
+            tracker.recordMiss(key);
+            return valueLoader.call();
+        });
+        tracker.pinIfHot(key, new SimpleValueWrapper(value), reads);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        tracker.recordWrite(key);
+        delegate.put(key, value);
+        tracker.refreshPinned(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        tracker.recordWrite(key);
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            tracker.refreshPinned(key, new SimpleValueWrapper(value));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        tracker.recordWrite(key);
+        tracker.unpin(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        tracker.recordWrite(key);
+        tracker.unpin(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        tracker.clearPinned();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        tracker.clearPinned();
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,45 @@
+package com.springweb.employeemanagement.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+
+/**
+ * Hands out the tracked cache under its configured name and leaves every other cache as is.
+ */
+public class HotKeyCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final String trackedCacheName;
+    private final HotKeyTracker tracker;
+    private volatile HotKeyCache trackedCache;
+
+    public HotKeyCacheManager(CacheManager delegate, String trackedCacheName, HotKeyTracker tracker) {
+        this.delegate = delegate;
+        this.trackedCacheName = trackedCacheName;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!trackedCacheName.equals(name)) {
+            return delegate.getCache(name);
+        }
+        HotKeyCache cache = trackedCache;
+        if (cache == null) {
+            Cache target = delegate.getCache(name);
+            if (target == null) {
+                return null;
+            }
+            cache = new HotKeyCache(target, tracker);
+            trackedCache = cache;
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,153 @@
+package com.springweb.employeemanagement.cache;
+
+import com.springweb.employeemanagement.config.HotKeyProperties;
+import com.springweb.employeemanagement.dto.HotKeyDto;
+import com.springweb.employeemanagement.dto.HotKeyReportDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records cache traffic per key in a {@link TrafficSketch} and, when pinning is enabled,
+ * keeps hot keys in a local tier that outlives the Redis TTL.
+ * Reads are sampled to keep lookups cheap: one in {@code readSampleRate} reads updates the
+ * sketch with a weight of {@code readSampleRate}, so read counts are unbiased estimates
+ * rather than upper bounds. Misses and writes are always recorded.
+ * Pinned values are refreshed and evicted by this instance's own writes only, so another
+ * instance's writes can take up to the pinned TTL to show up here.
+ */
+@Slf4j
+public class HotKeyTracker implements DisposableBean {
+
+    /**
+     * Returned by {@link #recordRead(Object)} when the read was not sampled.
+     */
+    public static final long NOT_SAMPLED = -1;
+
+    private final HotKeyProperties properties;
+    private final int readSampleRate;
+    private final TrafficSketch sketch;
+    private final Map<Object, PinnedEntry> pinnedEntries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService decayScheduler;
+
+    public HotKeyTracker(HotKeyProperties properties) {
+        if (properties.getReadSampleRate() < 1) {
+            throw new IllegalArgumentException("Read sample rate must be at least 1");
+        }
+        this.properties = properties;
+        this.readSampleRate = properties.getReadSampleRate();
+        this.sketch = new TrafficSketch(properties.getSketchWidth(), properties.getTopK());
+
+        this.decayScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-key-decay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long decayMillis = properties.getDecayInterval().toMillis();
+        decayScheduler.scheduleAtFixedRate(this::decay, decayMillis, decayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the key's estimated reads if this read was sampled, otherwise {@link #NOT_SAMPLED}
+     */
+    public long recordRead(Object key) {
+        if (readSampleRate > 1 && ThreadLocalRandom.current().nextInt(readSampleRate) != 0) {
+            return NOT_SAMPLED;
+        }
+        return sketch.record(key, TrafficSketch.Event.READ, readSampleRate);
+    }
+
+    public void recordMiss(Object key) {
+        sketch.record(key, TrafficSketch.Event.MISS);
+    }
+
+    public void recordWrite(Object key) {
+        sketch.record(key, TrafficSketch.Event.WRITE);
+    }
+
+    public Cache.ValueWrapper getPinned(Object key) {
+        if (pinnedEntries.isEmpty()) {
+            return null;
+        }
+        PinnedEntry entry = pinnedEntries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos() - System.nanoTime() < 0) {
+            pinnedEntries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Pins the key once its estimated reads, as returned by {@link #recordRead(Object)}, reach the
+     * threshold. Only sampled reads can pin, so a hot key is pinned a few reads late.
+     */
+    public void pinIfHot(Object key, Cache.ValueWrapper value, long reads) {
+        HotKeyProperties.Pinning pinning = properties.getPinning();
+        if (!pinning.isEnabled()
+                || reads == NOT_SAMPLED
+                || reads < pinning.getReadThreshold()
+                || pinnedEntries.size() >= pinning.getMaxEntries()) {
+            return;
+        }
+        if (pinnedEntries.putIfAbsent(key, newPinnedEntry(value)) == null) {
+            log.info("Pinned hot key {} in the local cache tier", key);
+        }
+    }
+
+    public void refreshPinned(Object key, Cache.ValueWrapper value) {
+        pinnedEntries.computeIfPresent(key, (k, entry) -> newPinnedEntry(value));
+    }
+
+    public void unpin(Object key) {
+        pinnedEntries.remove(key);
+    }
+
+    public void clearPinned() {
+        pinnedEntries.clear();
+    }
+
+    public HotKeyReportDto report() {
+        List<HotKeyDto> hotKeys = sketch.topKeys(properties.getTopK()).stream()
+                .map(counts -> new HotKeyDto(String.valueOf(counts.key()),
+                        counts.reads(),
+                        counts.misses(),
+                        counts.writes(),
+                        pinnedEntries.containsKey(counts.key())))
+                .toList();
+        return new HotKeyReportDto(properties.getCacheName(),
+                properties.getDecayInterval().toSeconds(),
+                sketch.total(TrafficSketch.Event.READ),
+                sketch.total(TrafficSketch.Event.MISS),
+                sketch.total(TrafficSketch.Event.WRITE),
+                hotKeys);
+    }
+
+    private void decay() {
+        sketch.decay();
+        long now = System.nanoTime();
+        pinnedEntries.values().removeIf(entry -> entry.expiresAtNanos() - now < 0);
+    }
+
+    private PinnedEntry newPinnedEntry(Cache.ValueWrapper value) {
+        return new PinnedEntry(value, System.nanoTime() + properties.getPinning().getTtl().toNanos());
+    }
+
+    @Override
+    public void destroy() {
+        decayScheduler.shutdownNow();
+    }
+
+    private record PinnedEntry(Cache.ValueWrapper value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.springweb.employeemanagement.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free count-min sketch of per-key cache traffic with a small set-associative table of
+ * heavy-hitter candidates for top-k reporting. Counts are estimates: they never undercount
+ * what was recorded, and hash collisions can make them overcount.
+ * {@link #decay()} halves every counter, which turns the counts into an exponentially
+ * decayed window.
+ */
+public class TrafficSketch {
+
+    public enum Event {
+        READ, MISS, WRITE
+    }
+
+    public record KeyCounts(Object key, long reads, long misses, long writes) {
+    }
+
+    private static final int DEPTH = 4;
+    // candidate slots per set, a new candidate replaces the least read one of its set
+    static final int WAYS = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int width;
+    private final int widthBits;
+    private final AtomicLongArray counters;
+
+    private final int candidateSetMask;
+    private final AtomicReferenceArray<Object> candidates;
+    private final AtomicLongArray candidateHashes;
+    private final AtomicLongArray candidateReads;
+
+    public TrafficSketch(int width, int topK) {
+        if (width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two");
+        }
+        this.width = width;
+        this.widthBits = Integer.numberOfTrailingZeros(width);
+        this.counters = new AtomicLongArray(Event.values().length * DEPTH * width);
+
+        // about four sets per wanted key, so more hot keys than ways rarely land in one set
+        int candidateSets = Integer.highestOneBit(Math.max(1, topK) * 4 - 1) << 1;
+        this.candidateSetMask = candidateSets - 1;
+        int candidateSlots = candidateSets * WAYS;
+        this.candidates = new AtomicReferenceArray<>(candidateSlots);
+        this.candidateHashes = new AtomicLongArray(candidateSlots);
+        this.candidateReads = new AtomicLongArray(candidateSlots);
+    }
+
+    public long record(Object key, Event event) {
+        return record(key, event, 1);
+    }
+
+    /**
+     * Records {@code weight} events at once, which lets a caller that samples events count each
+     * sampled one for all it stands for.
+     *
+     * @return the key's estimate for the event after recording
+     */
+    public long record(Object key, Event event, long weight) {
+        long hash = spread(key);
+        int base = event.ordinal() * DEPTH * width;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(base + row * width + column(hash, row), weight));
+        }
+        if (event == Event.READ) {
+            offerCandidate(key, hash, estimate);
+        }
+        return estimate;
+    }
+
+    public long estimate(Object key, Event event) {
+        long hash = spread(key);
+        int base = event.ordinal() * DEPTH * width;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(base + row * width + column(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @return up to {@code limit} candidate keys with their estimates, the most read first
+     */
+    public List<KeyCounts> topKeys(int limit) {
+        // estimates are read once up front, counters keep moving while we sort
+        List<KeyCounts> snapshot = new ArrayList<>();
+        Set<Object> seen = new HashSet<>();
+        for (int slot = 0; slot < candidates.length(); slot++) {
+            Object key = candidates.get(slot);
+            // racing first reads of a key can each give it a slot of its set
+            if (key != null && seen.add(key)) {
+                snapshot.add(new KeyCounts(key,
+                        estimate(key, Event.READ), estimate(key, Event.MISS), estimate(key, Event.WRITE)));
+            }
+        }
+        snapshot.sort(Comparator.comparingLong(KeyCounts::reads).reversed());
+        return snapshot.size() > limit ? snapshot.subList(0, limit) : snapshot;
+    }
+
+    /**
+     * @return the decayed number of events, summed from one row of counters so the hot path
+     * does not need a separate total
+     */
+    public long total(Event event) {
+        long total = 0;
+        int start = event.ordinal() * DEPTH * width;
+        for (int i = start; i < start + width; i++) {
+            total += counters.get(i);
+        }
+        return total;
+    }
+
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        for (int slot = 0; slot < candidateReads.length(); slot++) {
+            candidateReads.getAndUpdate(slot, count -> count >>> 1);
+        }
+    }
+
+    // visible for tests
+    int candidateSet(Object key) {
+        return (int) spread(key) & candidateSetMask;
+    }
+
+    // Racy on purpose: a lost update only makes the candidate table slightly less accurate.
+    // Slots are matched by hash so the hot path never dereferences the stored keys.
+    private void offerCandidate(Object key, long hash, long estimate) {
+        // 0 marks an empty slot
+        long tag = hash | 1;
+        int first = ((int) hash & candidateSetMask) * WAYS;
+        int coldest = first;
+        long coldestReads = Long.MAX_VALUE;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            if (candidateHashes.get(slot) == tag) {
+                candidateReads.lazySet(slot, estimate);
+                return;
+            }
+            long reads = candidateReads.get(slot);
+            if (reads < coldestReads) {
+                coldest = slot;
+                coldestReads = reads;
+            }
+        }
+        if (estimate > coldestReads) {
+            candidates.lazySet(coldest, key);
+            candidateHashes.lazySet(coldest, tag);
+            candidateReads.lazySet(coldest, estimate);
+        }
+    }
+
+    private int column(long hash, int row) {
+        return (int) ((hash * SEEDS[row]) >>> (64 - widthBits));
+    }
+
+    private static long spread(Object key) {
+        long hash = key.hashCode() * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+}
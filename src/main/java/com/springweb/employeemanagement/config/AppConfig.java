@@ -1,10 +1,12 @@
 package com.springweb.employeemanagement.config;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(WriteCoalescingProperties.class)
 public class AppConfig {
 
     @Bean
@@ -2,6 +2,9 @@ package com.springweb.employeemanagement.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.springweb.employeemanagement.cache.HotKeyCacheManager;
+import com.springweb.employeemanagement.cache.HotKeyTracker;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -17,10 +20,18 @@ import java.time.Duration;
 
 @EnableCaching
 @Configuration
+@EnableConfigurationProperties(HotKeyProperties.class)
 public class CacheConfig {
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public HotKeyTracker hotKeyTracker(HotKeyProperties properties) {
+        return new HotKeyTracker(properties);
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     HotKeyTracker hotKeyTracker,
+                                     HotKeyProperties hotKeyProperties) {
 
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectMapper javaTimeModuleMapper = objectMapper.registerModule(new JavaTimeModule());
@@ -33,8 +44,11 @@ public class CacheConfig {
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(configuration)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new HotKeyCacheManager(redisCacheManager, hotKeyProperties.getCacheName(), hotKeyTracker);
     }
 }
@@ -0,0 +1,27 @@
+package com.springweb.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.hot-keys")
+public class HotKeyProperties {
+
+    private String cacheName = "employees";
+    private int sketchWidth = 4096;
+    private int topK = 20;
+    // one in this many reads is recorded, counted for all of them; 1 records every read
+    private int readSampleRate = 8;
+    private Duration decayInterval = Duration.ofSeconds(60);
+    private Pinning pinning = new Pinning();
+
+    @Data
+    public static class Pinning {
+        private boolean enabled;
+        private long readThreshold = 100;
+        private Duration ttl = Duration.ofMinutes(5);
+        private int maxEntries = 100;
+    }
+}
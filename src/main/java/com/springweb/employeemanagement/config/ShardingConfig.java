@@ -0,0 +1,80 @@
+package com.springweb.employeemanagement.config;
+
+import com.springweb.employeemanagement.repositories.EmployeeEmailIndexRepository;
+import com.springweb.employeemanagement.sharding.ShardIdGenerator;
+import com.springweb.employeemanagement.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    private static final String SHARD_SCHEMA = "db/shard-schema.sql";
+    private static final String DIRECTORY_SCHEMA = "db/directory-schema.sql";
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        List<ShardingProperties.Shard> shardProperties = properties.getShards();
+        if (shardProperties.isEmpty() || shardProperties.size() > ShardIdGenerator.MAX_SHARDS) {
+            throw new IllegalStateException("app.sharding.shards must list between 1 and "
+                    + ShardIdGenerator.MAX_SHARDS + " shards");
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int shard = 0; shard < shardProperties.size(); shard++) {
+            ShardingProperties.Shard shardProperty = shardProperties.get(shard);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shardProperty.getUrl())
+                    .username(shardProperty.getUsername())
+                    .password(shardProperty.getPassword())
+                    .driverClassName(shardProperty.getDriverClassName())
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+
+            // Hibernate only sees the default shard, so the schema is applied to every shard here
+            if (properties.isInitializeSchema()) {
+                new ResourceDatabasePopulator(new ClassPathResource(SHARD_SCHEMA)).execute(dataSource);
+            }
+            shards.add(dataSource);
+        }
+
+        // the email directory and its one-off backfill only exist on the directory shard
+        DataSource directory = shards.get(EmployeeEmailIndexRepository.DIRECTORY_SHARD);
+        if (properties.isInitializeSchema() && !tableExists(directory, "employee_email_index")) {
+            new ResourceDatabasePopulator(new ClassPathResource(DIRECTORY_SCHEMA)).execute(directory);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public ShardIdGenerator shardIdGenerator(ShardingProperties properties) {
+        if (properties.getNodeId() == null) {
+            throw new IllegalStateException("app.sharding.node-id must be set, and be unique per running instance");
+        }
+        return new ShardIdGenerator(properties.getNodeId());
+    }
+
+    private static boolean tableExists(DataSource dataSource, String table) {
+        try {
+            new JdbcTemplate(dataSource).execute("SELECT 1 FROM " + table + " WHERE 1 = 0");
+            return true;
+        } catch (BadSqlGrammarException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.springweb.employeemanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.write-coalescing")
+public class WriteCoalescingProperties {
+
+    private boolean enabled;
+    private Duration window = Duration.ofMillis(5);
+    // how long a caller waits for its batch before giving up
+    private Duration timeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,24 @@
+package com.springweb.employeemanagement.controllers;
+
+import com.springweb.employeemanagement.cache.HotKeyTracker;
+import com.springweb.employeemanagement.dto.HotKeyReportDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/cache")
+public class CacheAdminController {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public CacheAdminController(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @GetMapping("/hot-keys")
+    public ResponseEntity<HotKeyReportDto> getHotKeys() {
+        return ResponseEntity.ok(hotKeyTracker.report());
+    }
+}
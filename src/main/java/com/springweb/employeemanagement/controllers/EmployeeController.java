@@ -3,6 +3,7 @@ package com.springweb.employeemanagement.controllers;
 import com.springweb.employeemanagement.dto.EmployeeDto;
 import com.springweb.employeemanagement.services.EmployeeService;
 import com.springweb.employeemanagement.services.EmployeeServiceImpl;
+import com.springweb.employeemanagement.services.EmployeeUpdateCoalescer;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +17,11 @@ import java.util.Map;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeUpdateCoalescer updateCoalescer;
 
-    public EmployeeController(EmployeeServiceImpl employeeService) {
+    public EmployeeController(EmployeeServiceImpl employeeService, EmployeeUpdateCoalescer updateCoalescer) {
         this.employeeService = employeeService;
+        this.updateCoalescer = updateCoalescer;
     }
 
     @GetMapping
@@ -55,7 +58,7 @@ public class EmployeeController {
     @PatchMapping(path = "/{employeeId}")
     public ResponseEntity<EmployeeDto> updatePartialEmployeeById(@PathVariable Long employeeId,
                                                                  @RequestBody Map<String, Object> updates) {
-        EmployeeDto employeeDto = employeeService.updatePartialEmployeeById(employeeId, updates);
+        EmployeeDto employeeDto = updateCoalescer.updatePartialEmployeeById(employeeId, updates);
         return ResponseEntity.ok(employeeDto);
     }
 }
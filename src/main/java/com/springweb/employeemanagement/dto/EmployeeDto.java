@@ -1,5 +1,6 @@
 package com.springweb.employeemanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.springweb.employeemanagement.annotations.EmployeeRoleValidation;
 import jakarta.validation.constraints.*;
@@ -15,7 +16,9 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class EmployeeDto implements Serializable {
 
+    // sharded ids exceed 2^53, so they go out as strings to keep JavaScript clients exact
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
 
     @NotBlank(message = "Name cannot be blank")
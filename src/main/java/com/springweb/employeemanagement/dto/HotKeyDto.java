@@ -0,0 +1,17 @@
+package com.springweb.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyDto {
+
+    private String key;
+    private long reads;
+    private long misses;
+    private long writes;
+    private boolean pinned;
+}
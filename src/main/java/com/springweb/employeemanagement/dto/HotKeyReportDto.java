@@ -0,0 +1,25 @@
+package com.springweb.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotKeyReportDto {
+
+    private String cacheName;
+
+    // per-key counts are halved every decay interval
+    private long decayIntervalSeconds;
+
+    // totals over all keys, decayed the same way
+    private long totalReads;
+    private long totalMisses;
+    private long totalWrites;
+
+    private List<HotKeyDto> hotKeys;
+}
@@ -17,8 +17,8 @@ import java.time.LocalDate;
 @NoArgsConstructor
 public class EmployeeEntity {
 
+    // assigned by ShardIdGenerator, the id encodes the shard the row lives on
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String name;
     private String email;
@@ -0,0 +1,47 @@
+package com.springweb.employeemanagement.repositories;
+
+import com.springweb.employeemanagement.sharding.ShardRoutingDataSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Cross-shard email lookup table kept on the directory shard. Its primary key is
+ * what keeps employee emails unique across all shards.
+ */
+@Repository
+public class EmployeeEmailIndexRepository {
+
+    public static final int DIRECTORY_SHARD = 0;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeEmailIndexRepository(ShardRoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource.getShard(DIRECTORY_SHARD));
+    }
+
+    /**
+     * @return {@code false} if the email already belongs to another employee
+     */
+    public boolean reserve(String email, Long employeeId) {
+        try {
+            jdbcTemplate.update("INSERT INTO employee_email_index (email, employee_id) VALUES (?, ?)",
+                    email, employeeId);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public boolean isReservedBy(String email, Long employeeId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employee_email_index WHERE email = ? AND employee_id = ?",
+                Integer.class, email, employeeId);
+        return count != null && count > 0;
+    }
+
+    public void release(String email, Long employeeId) {
+        jdbcTemplate.update("DELETE FROM employee_email_index WHERE email = ? AND employee_id = ?",
+                email, employeeId);
+    }
+}
@@ -0,0 +1,149 @@
+package com.springweb.employeemanagement.repositories;
+
+import com.springweb.employeemanagement.entities.EmployeeEntity;
+import com.springweb.employeemanagement.sharding.ShardContext;
+import com.springweb.employeemanagement.sharding.ShardIdGenerator;
+import com.springweb.employeemanagement.sharding.ShardRoutingDataSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@link EmployeeRepository} operations against the shard encoded in the employee id,
+ * and fans queries without an id out to every shard in parallel.
+ */
+@Slf4j
+@Repository
+public class ShardedEmployeeRepository {
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final ShardIdGenerator idGenerator;
+    private final int shardCount;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedEmployeeRepository(EmployeeRepository employeeRepository,
+                                     EntityManager entityManager,
+                                     ShardIdGenerator idGenerator,
+                                     ShardRoutingDataSource dataSource,
+                                     PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.idGenerator = idGenerator;
+        this.shardCount = dataSource.getShardCount();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardForId(Long employeeId) {
+        return idGenerator.shardOf(employeeId);
+    }
+
+    public int shardForEmail(String email) {
+        return Math.floorMod(email.hashCode(), shardCount);
+    }
+
+    public Long nextId(int shard) {
+        return idGenerator.nextId(shard);
+    }
+
+    public Optional<EmployeeEntity> findById(Long employeeId) {
+        int shard = shardForId(employeeId);
+        if (shard >= shardCount) {
+            // not an id this deployment could have issued
+            return Optional.empty();
+        }
+        return inShard(shard, true, () -> employeeRepository.findById(employeeId));
+    }
+
+    public List<EmployeeEntity> findAll() {
+        return findAcrossShards(EmployeeRepository::findAll);
+    }
+
+    public List<EmployeeEntity> findAcrossShards(Function<EmployeeRepository, List<EmployeeEntity>> query) {
+        List<CompletableFuture<List<EmployeeEntity>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int targetShard = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> inShard(targetShard, true, () -> query.apply(employeeRepository)), scatterExecutor));
+        }
+
+        List<EmployeeEntity> merged = new ArrayList<>();
+        try {
+            futures.forEach(future -> merged.addAll(future.join()));
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        // ids are time ordered, so this keeps creation order across shards
+        merged.sort(Comparator.comparing(EmployeeEntity::getId));
+        return merged;
+    }
+
+    /**
+     * Inserts a new employee whose id was issued by {@link #nextId(int)}.
+     */
+    public EmployeeEntity insert(EmployeeEntity employee) {
+        return inShard(shardForId(employee.getId()), false, () -> {
+            entityManager.persist(employee);
+            return employee;
+        });
+    }
+
+    public EmployeeEntity save(EmployeeEntity employee) {
+        return inShard(shardForId(employee.getId()), false, () -> employeeRepository.save(employee));
+    }
+
+    public void delete(EmployeeEntity employee) {
+        inShard(shardForId(employee.getId()), false, () -> {
+            employeeRepository.delete(employee);
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code work} in a transaction on a single shard. The shard has to be selected
+     * before the transaction starts because that is when the connection is taken.
+     */
+    public <T> T inShard(int shard, boolean readOnly, Supplier<T> work) {
+        TransactionTemplate template = readOnly ? readOnlyTransactionTemplate : transactionTemplate;
+        return ShardContext.callInShard(shard, () -> template.execute(status -> work.get()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        log.info("Shutting down shard query executor");
+        scatterExecutor.shutdown();
+    }
+}
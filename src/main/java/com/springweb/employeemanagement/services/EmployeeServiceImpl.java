@@ -5,7 +5,8 @@ import com.springweb.employeemanagement.entities.EmployeeEntity;
 import com.springweb.employeemanagement.advice.customexceptions.DuplicateResourceException;
 import com.springweb.employeemanagement.advice.customexceptions.InvalidDataException;
 import com.springweb.employeemanagement.advice.customexceptions.ResourceNotFoundException;
-import com.springweb.employeemanagement.repositories.EmployeeRepository;
+import com.springweb.employeemanagement.repositories.EmployeeEmailIndexRepository;
+import com.springweb.employeemanagement.repositories.ShardedEmployeeRepository;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,17 +15,19 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
-    private final EmployeeRepository employeeRepository;
+    private final ShardedEmployeeRepository employeeRepository;
+    private final EmployeeEmailIndexRepository emailIndexRepository;
     private final ModelMapper modelMapper;
     private static final String EMPLOYEES_CACHE = "employees";
 
@@ -37,7 +40,6 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<EmployeeDto> getAllEmployees() {
         return employeeRepository.findAll()
                 .stream()
@@ -45,8 +47,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .toList();
     }
 
-    @Cacheable(cacheNames = EMPLOYEES_CACHE, key = "#employeeId")
-    @Transactional(readOnly = true)
+    // sync fills the miss through the cache's loader, so the fill is not counted as a write
+    @Cacheable(cacheNames = EMPLOYEES_CACHE, key = "#employeeId", sync = true)
     @Override
     public EmployeeDto getEmployeeById(Long employeeId) {
         log.info("Fetching employee with ID: {}", employeeId);
@@ -56,37 +58,38 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @CachePut(cacheNames = EMPLOYEES_CACHE, key = "#result.id")
-    @Transactional
     @Override
     public EmployeeDto createEmployee(EmployeeDto employeeDto) {
 
         log.info("Creating new employee with email: {}", employeeDto.getEmail());
-        validateNewEmployee(employeeDto);
-
         EmployeeEntity employeeEntity = convertToEntity(employeeDto);
-        EmployeeEntity savedEmployee = employeeRepository.save(employeeEntity);
+        employeeEntity.setId(employeeRepository.nextId(employeeRepository.shardForEmail(employeeDto.getEmail())));
+        validateNewEmployee(employeeEntity);
+
+        EmployeeEntity savedEmployee;
+        try {
+            savedEmployee = employeeRepository.insert(employeeEntity);
+        } catch (RuntimeException ex) {
+            releaseEmail(employeeEntity.getEmail(), employeeEntity.getId());
+            throw ex;
+        }
         log.info("Successfully created new employee with ID: {}", savedEmployee.getId());
 
         return convertToDto(savedEmployee);
     }
 
     @CachePut(cacheNames = EMPLOYEES_CACHE, key = "#employeeId")
-    @Transactional
     @Override
     public EmployeeDto updateEmployee(Long employeeId, EmployeeDto updatedEmployee) {
         log.info("Start updating employee with ID: {}", employeeId);
 
-        EmployeeEntity existingEmployee = findByEmployeeIdOrThrow(employeeId);
-        log.debug("Fetched existing employee details: {}", existingEmployee);
-
-        // checks email uniqueness if changed
-        validateEmailForUpdate(existingEmployee, updatedEmployee);
-        log.info("Attempted to update email for employee with ID: {}", employeeId);
-
-        updateEmployeeFields(existingEmployee, updatedEmployee);
-        log.debug("Employee fields updated for employee ID: {}", employeeId);
+        // the new email is checked for uniqueness before the employee is loaded
+        EmployeeEntity savedEmployee = applyAndSave(employeeId, updatedEmployee.getEmail(), employee -> {
+            log.debug("Fetched existing employee details: {}", employee);
 
-        EmployeeEntity savedEmployee = employeeRepository.save(existingEmployee);
+            updateEmployeeFields(employee, updatedEmployee);
+            log.debug("Employee fields updated for employee ID: {}", employeeId);
+        });
         log.info("Employee update successful for ID: {}. Persisted employee: {}", employeeId, savedEmployee);
 
         EmployeeDto resultDto = convertToDto(savedEmployee);
@@ -97,7 +100,6 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#employeeId")
-    @Transactional
     @Override
     public void deleteEmployee(Long employeeId) {
         log.info("Attempting to delete employee with ID: {}", employeeId);
@@ -105,6 +107,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employeeRepository.findById(employeeId)
                 .ifPresentOrElse(employee -> {
                     employeeRepository.delete(employee);
+                    releaseEmail(employee.getEmail(), employeeId);
                     log.info("Successfully deleted employee with ID: {}", employeeId);
                 }, () -> {
                     log.warn("Employee with ID: {} not found, throwing ResourceNotFoundException", employeeId);
@@ -112,58 +115,111 @@ public class EmployeeServiceImpl implements EmployeeService {
                 });
     }
 
-
-    @Transactional
+    @CachePut(cacheNames = EMPLOYEES_CACHE, key = "#employeeId")
     @Override
     public EmployeeDto updatePartialEmployeeById(Long employeeId, Map<String, Object> updates) {
-        EmployeeEntity employee = findByEmployeeIdOrThrow(employeeId);
+        String newEmail = (String) updates.get(EmployeeField.EMAIL.getKey());
 
-        if (updates.containsKey(EmployeeField.NAME.getKey()) && updates.get(EmployeeField.NAME.getKey()) != null) {
-            employee.setName((String) updates.get(EmployeeField.NAME.getKey()));
-        }
+        EmployeeEntity savedEmployee = applyAndSave(employeeId, newEmail, employee -> {
+            if (updates.containsKey(EmployeeField.NAME.getKey()) && updates.get(EmployeeField.NAME.getKey()) != null) {
+                employee.setName((String) updates.get(EmployeeField.NAME.getKey()));
+            }
 
-        if (updates.containsKey(EmployeeField.EMAIL.getKey()) && updates.get(EmployeeField.EMAIL.getKey()) != null) {
-            String newEmail = (String) updates.get(EmployeeField.EMAIL.getKey());
-            validateEmailForUpdate(employee, newEmail);
-            employee.setEmail(newEmail);
-        }
+            if (newEmail != null) {
+                employee.setEmail(newEmail);
+            }
 
-        if (updates.containsKey(EmployeeField.AGE.getKey()) && updates.get(EmployeeField.AGE.getKey()) != null) {
-            employee.setAge((Integer) updates.get(EmployeeField.AGE.getKey()));
-        }
-
-        if (updates.containsKey(EmployeeField.IS_ACTIVE.getKey()) && updates.get(EmployeeField.IS_ACTIVE.getKey()) != null) {
-            employee.setIsActive((Boolean) updates.get(EmployeeField.IS_ACTIVE.getKey()));
-        }
+            if (updates.containsKey(EmployeeField.AGE.getKey()) && updates.get(EmployeeField.AGE.getKey()) != null) {
+                employee.setAge((Integer) updates.get(EmployeeField.AGE.getKey()));
+            }
 
-        EmployeeEntity savedEmployee = employeeRepository.save(employee);
+            if (updates.containsKey(EmployeeField.IS_ACTIVE.getKey()) && updates.get(EmployeeField.IS_ACTIVE.getKey()) != null) {
+                employee.setIsActive((Boolean) updates.get(EmployeeField.IS_ACTIVE.getKey()));
+            }
+        });
         return convertToDto(savedEmployee);
     }
 
     // Helper Method
     private EmployeeEntity findByEmployeeIdOrThrow(Long employeeId) {
+        validateEmployeeId(employeeId);
+        return employeeRepository.findById(employeeId)
+                .orElseThrow(() -> employeeNotFound(employeeId));
+    }
+
+    private ResourceNotFoundException employeeNotFound(Long employeeId) {
+        return new ResourceNotFoundException("Employee not found with ID: " + employeeId);
+    }
+
+    private void validateEmployeeId(Long employeeId) {
         if (employeeId == null) {
             throw new InvalidDataException("Employee ID cannot be null");
         }
-        return employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
     }
 
-    private void validateNewEmployee(EmployeeDto employeeDto) {
-        if (employeeRepository.existsByEmail(employeeDto.getEmail())) {
-            throw new DuplicateResourceException("Employee with email " + employeeDto.getEmail() + " already exists");
+    private void validateNewEmployee(EmployeeEntity employeeEntity) {
+        if (!emailIndexRepository.reserve(employeeEntity.getEmail(), employeeEntity.getId())) {
+            throw new DuplicateResourceException("Employee with email " + employeeEntity.getEmail() + " already exists");
         }
     }
 
-    private void validateEmailForUpdate(EmployeeEntity existingEmployee, EmployeeDto updateEmployee) {
-        validateEmailForUpdate(existingEmployee, updateEmployee.getEmail());
+    /**
+     * @return {@code true} if the email was reserved by this call, {@code false} if there is nothing to
+     * reserve or the employee already holds it
+     */
+    private boolean reserveEmailForUpdate(Long employeeId, String newEmail) {
+        if (newEmail == null) {
+            return false;
+        }
+        if (emailIndexRepository.reserve(newEmail, employeeId)) {
+            return true;
+        }
+        if (!emailIndexRepository.isReservedBy(newEmail, employeeId)) {
+            throw new DuplicateResourceException("Email " + newEmail + " is already in use");
+        }
+        return false;
     }
 
-    private void validateEmailForUpdate(EmployeeEntity existingEmployee, String newEmail) {
-        if (!existingEmployee.getEmail().equals(newEmail) &&
-                employeeRepository.existsByEmail(newEmail)) {
-            throw new DuplicateResourceException("Email " + newEmail + " is already in use");
+    // Best effort: a failed release only leaves an unused row behind, which must not fail a committed change
+    private void releaseEmail(String email, Long employeeId) {
+        try {
+            emailIndexRepository.release(email, employeeId);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release email {} of employee with ID: {}, it stays reserved", email, employeeId, ex);
+        }
+    }
+
+    // Loads, changes and saves the employee in one transaction on its shard, keeping the email index in step.
+    // The new email is reserved before the transaction opens, so an update on the directory shard never holds
+    // two of its connections at once.
+    private EmployeeEntity applyAndSave(Long employeeId, String newEmail, Consumer<EmployeeEntity> changes) {
+        validateEmployeeId(employeeId);
+        int shard = employeeRepository.shardForId(employeeId);
+        if (shard >= employeeRepository.getShardCount()) {
+            throw employeeNotFound(employeeId);
+        }
+
+        boolean reserved = reserveEmailForUpdate(employeeId, newEmail);
+        AtomicReference<String> previousEmail = new AtomicReference<>();
+        EmployeeEntity savedEmployee;
+        try {
+            savedEmployee = employeeRepository.inShard(shard, false, () -> {
+                EmployeeEntity employee = findByEmployeeIdOrThrow(employeeId);
+                previousEmail.set(employee.getEmail());
+                changes.accept(employee);
+                return employeeRepository.save(employee);
+            });
+        } catch (RuntimeException ex) {
+            if (reserved) {
+                releaseEmail(newEmail, employeeId);
+            }
+            throw ex;
+        }
+
+        if (previousEmail.get() != null && !previousEmail.get().equals(savedEmployee.getEmail())) {
+            releaseEmail(previousEmail.get(), employeeId);
         }
+        return savedEmployee;
     }
 
     private void updateEmployeeFields(EmployeeEntity existingEmployee, EmployeeDto updatedEmployee) {
@@ -0,0 +1,193 @@
+package com.springweb.employeemanagement.services;
+
+import com.springweb.employeemanagement.config.WriteCoalescingProperties;
+import com.springweb.employeemanagement.dto.EmployeeDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optionally groups partial updates that arrive for the same employee within a short window
+ * and applies them as one update. Every caller gets the merged result back.
+ * Updates are only merged when no field is set by more than one caller, so every caller's
+ * own values are validated. Otherwise, or if the merged update fails, the callers' updates
+ * are replayed one by one in arrival order and each caller sees the same outcome it would
+ * have seen without coalescing.
+ * Batches for the same employee are chained one after another, so no thread ever waits for
+ * another employee's update. A caller waits at most the configured timeout; its update may
+ * still be applied after that.
+ */
+@Slf4j
+@Component
+public class EmployeeUpdateCoalescer {
+
+    private final EmployeeService employeeService;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final long timeoutMillis;
+    private final Map<Long, List<PendingUpdate>> pendingUpdates = new ConcurrentHashMap<>();
+    // the last batch handed to the flush pool per employee, the next batch for that id runs after it
+    private final Map<Long, CompletableFuture<Void>> lastBatches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler;
+    private final ExecutorService flushExecutor;
+
+    public EmployeeUpdateCoalescer(EmployeeService employeeService, WriteCoalescingProperties properties) {
+        this.employeeService = employeeService;
+        this.enabled = properties.isEnabled();
+        this.windowMillis = properties.getWindow().toMillis();
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("employee-update-scheduler-"));
+        this.flushExecutor = Executors.newCachedThreadPool(daemonThreads("employee-update-coalescer-"));
+    }
+
+    public EmployeeDto updatePartialEmployeeById(Long employeeId, Map<String, Object> updates) {
+        if (!enabled || employeeId == null) {
+            return employeeService.updatePartialEmployeeById(employeeId, updates);
+        }
+
+        PendingUpdate pendingUpdate = new PendingUpdate(updates, new CompletableFuture<>());
+        pendingUpdates.compute(employeeId, (id, batch) -> {
+            if (batch == null) {
+                batch = new ArrayList<>();
+                flushScheduler.schedule(() -> flush(id), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            batch.add(pendingUpdate);
+            return batch;
+        });
+
+        try {
+            return pendingUpdate.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Update of employee with ID: " + employeeId + " failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Timed out waiting for the update of employee with ID: " + employeeId, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the update of employee with ID: "
+                    + employeeId, ex);
+        }
+    }
+
+    private void flush(Long employeeId) {
+        // taking the batch and chaining it happen in one step, so the next batch for this id cannot overtake it
+        pendingUpdates.computeIfPresent(employeeId, (id, batch) -> {
+            CompletableFuture<Void> applied = lastBatches.compute(id, (key, previous) ->
+                    (previous == null ? CompletableFuture.<Void>completedFuture(null) : previous)
+                            .handleAsync((result, ex) -> {
+                                applyBatch(id, batch);
+                                return null;
+                            }, flushExecutor));
+            applied.whenComplete((result, ex) -> lastBatches.remove(id, applied));
+            return null;
+        });
+    }
+
+    private void applyBatch(Long employeeId, List<PendingUpdate> batch) {
+        try {
+            if (batch.size() == 1) {
+                apply(employeeId, batch.get(0));
+                return;
+            }
+
+            Map<String, Object> merged = merge(batch);
+            if (merged == null) {
+                log.debug("Updates for employee with ID: {} overlap, applying {} of them one by one",
+                        employeeId, batch.size());
+                batch.forEach(pendingUpdate -> apply(employeeId, pendingUpdate));
+                return;
+            }
+
+            try {
+                EmployeeDto result = employeeService.updatePartialEmployeeById(employeeId, merged);
+                log.debug("Coalesced {} updates for employee with ID: {}", batch.size(), employeeId);
+                batch.forEach(pendingUpdate -> pendingUpdate.result().complete(result));
+            } catch (RuntimeException ex) {
+                log.warn("Coalesced update of {} requests for employee with ID: {} failed, applying them one by one",
+                        batch.size(), employeeId);
+                batch.forEach(pendingUpdate -> apply(employeeId, pendingUpdate));
+            }
+        } catch (Error error) {
+            // callers still waiting must not hang on a batch that died
+            log.error("Update batch for employee with ID: {} failed", employeeId, error);
+            batch.forEach(pendingUpdate -> pendingUpdate.result().completeExceptionally(error));
+            throw error;
+        }
+    }
+
+    private void apply(Long employeeId, PendingUpdate pendingUpdate) {
+        try {
+            pendingUpdate.result().complete(employeeService.updatePartialEmployeeById(employeeId, pendingUpdate.updates()));
+        } catch (RuntimeException ex) {
+            pendingUpdate.result().completeExceptionally(ex);
+        }
+    }
+
+    // null values are skipped just like a single partial update skips them
+    private Map<String, Object> merge(List<PendingUpdate> batch) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        Set<String> seenFields = new HashSet<>();
+        for (PendingUpdate pendingUpdate : batch) {
+            for (Map.Entry<String, Object> update : pendingUpdate.updates().entrySet()) {
+                if (update.getValue() == null) {
+                    continue;
+                }
+                if (!seenFields.add(update.getKey())) {
+                    // a later value would hide an earlier caller's value from validation
+                    return null;
+                }
+                merged.put(update.getKey(), update.getValue());
+            }
+        }
+        return merged;
+    }
+
+    // visible for tests
+    int pendingCount(Long employeeId) {
+        List<PendingUpdate> batch = pendingUpdates.get(employeeId);
+        return batch == null ? 0 : batch.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // already scheduled flushes still run so no caller is left waiting
+        flushScheduler.shutdown();
+        try {
+            flushScheduler.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushExecutor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record PendingUpdate(Map<String, Object> updates, CompletableFuture<EmployeeDto> result) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.springweb.employeemanagement.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread is talking to. {@link ShardRoutingDataSource}
+ * reads it whenever a connection is requested.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static <T> T callInShard(int shard, Supplier<T> work) {
+        Integer previousShard = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previousShard == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previousShard);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.springweb.employeemanagement.sharding;
+
+/**
+ * Generates time ordered 64-bit employee ids that carry the shard they live on:
+ * <pre>
+ * | 41 bits millis since 2025-01-01 | 6 bits shard | 6 bits node | 10 bits sequence |
+ * </pre>
+ * Generated ids are never below {@link #MIN_SHARDED_ID}. Anything below it was issued by the
+ * old IDENTITY column before sharding and lives on shard 0.
+ * The node id has to be unique per running instance, otherwise two instances can issue the
+ * same id on the same shard in the same millisecond.
+ */
+public class ShardIdGenerator {
+
+    private static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
+
+    private static final int SEQUENCE_BITS = 10;
+    private static final int NODE_BITS = 6;
+    private static final int SHARD_BITS = 6;
+
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = SEQUENCE_BITS + NODE_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_BITS + SHARD_BITS;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final long SHARD_MASK = (1L << SHARD_BITS) - 1;
+
+    // ~99 days after the epoch, far above any IDENTITY value and already behind us
+    private static final long MIN_TIMESTAMP = 1L << 33;
+    public static final long MIN_SHARDED_ID = MIN_TIMESTAMP << TIMESTAMP_SHIFT;
+
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    public ShardIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > NODE_MASK) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + NODE_MASK);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId(int shard) {
+        if (shard < 0 || shard > SHARD_MASK) {
+            throw new IllegalArgumentException("Shard must be between 0 and " + SHARD_MASK);
+        }
+
+        // never step backwards, and borrow the next millisecond once the sequence is exhausted
+        long timestamp = Math.max(Math.max(System.currentTimeMillis(), EPOCH + MIN_TIMESTAMP), lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+
+        return ((timestamp - EPOCH) << TIMESTAMP_SHIFT)
+                | ((long) shard << SHARD_SHIFT)
+                | (nodeId << NODE_SHIFT)
+                | sequence;
+    }
+
+    public int shardOf(long id) {
+        if (id < MIN_SHARDED_ID) {
+            return 0;
+        }
+        return (int) ((id >>> SHARD_SHIFT) & SHARD_MASK);
+    }
+}
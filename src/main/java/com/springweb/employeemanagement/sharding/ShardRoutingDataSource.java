@@ -0,0 +1,56 @@
+package com.springweb.employeemanagement.sharding;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes every connection request to the shard selected in {@link ShardContext}.
+ * Without a selected shard (e.g. Hibernate bootstrapping) the first shard is used;
+ * an unknown shard fails instead of silently falling back to it.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard data source is required");
+        }
+        this.shards = List.copyOf(shards);
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        for (int shard = 0; shard < this.shards.size(); shard++) {
+            targetDataSources.put(shard, this.shards.get(shard));
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(this.shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.currentShard();
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public DataSource getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- applied to the directory shard (shard 0) only, and only while the table does not exist yet
+CREATE TABLE employee_email_index (
+    email VARCHAR(255) PRIMARY KEY,
+    employee_id BIGINT NOT NULL
+);
+
+-- backfill employees written before sharding, they all live on the directory shard
+INSERT INTO employee_email_index (email, employee_id)
+SELECT e.email, MIN(e.id)
+FROM employees e
+WHERE e.email IS NOT NULL
+GROUP BY e.email;
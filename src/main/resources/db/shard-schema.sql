@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    age INTEGER,
+    date_of_joining DATE,
+    is_active BOOLEAN,
+    salary DOUBLE PRECISION,
+    role VARCHAR(255)
+);
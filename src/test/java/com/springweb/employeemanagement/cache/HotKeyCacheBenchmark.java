@@ -0,0 +1,178 @@
+package com.springweb.employeemanagement.cache;
+
+import com.springweb.employeemanagement.config.HotKeyProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost {@link HotKeyCache} adds to a cache lookup, measured against a stub delegate that answers
+ * every key, so the difference to {@link #delegateGet()} is the tracking overhead. The tracked
+ * benchmarks use the default read sample rate, {@code EveryRead} ones record every read. Run with
+ * <pre>
+ * ./mvnw test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main HotKeyCacheBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotKeyCacheBenchmark {
+
+    private static final int KEY_COUNT = 1 << 16;
+
+    private Long[] keys;
+    private StubCache delegate;
+    private HotKeyTracker tracker;
+    private HotKeyCache trackedCache;
+    private HotKeyTracker everyReadTracker;
+    private HotKeyCache everyReadCache;
+    private HotKeyTracker pinningTracker;
+    private HotKeyCache pinningCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new Long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = (long) i;
+        }
+        delegate = new StubCache();
+
+        HotKeyProperties properties = new HotKeyProperties();
+        properties.setDecayInterval(Duration.ofHours(1));
+        tracker = new HotKeyTracker(properties);
+        trackedCache = new HotKeyCache(delegate, tracker);
+
+        HotKeyProperties everyReadProperties = new HotKeyProperties();
+        everyReadProperties.setDecayInterval(Duration.ofHours(1));
+        everyReadProperties.setReadSampleRate(1);
+        everyReadTracker = new HotKeyTracker(everyReadProperties);
+        everyReadCache = new HotKeyCache(delegate, everyReadTracker);
+
+        HotKeyProperties pinningProperties = new HotKeyProperties();
+        pinningProperties.setDecayInterval(Duration.ofHours(1));
+        pinningProperties.getPinning().setEnabled(true);
+        pinningProperties.getPinning().setReadThreshold(Long.MAX_VALUE);
+        pinningTracker = new HotKeyTracker(pinningProperties);
+        pinningCache = new HotKeyCache(delegate, pinningTracker);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tracker.destroy();
+        everyReadTracker.destroy();
+        pinningTracker.destroy();
+    }
+
+    @Benchmark
+    public Object delegateGet() {
+        return delegate.get(randomKey());
+    }
+
+    @Benchmark
+    public Object trackedGet() {
+        return trackedCache.get(randomKey());
+    }
+
+    @Benchmark
+    public Object trackedGetHotKey() {
+        return trackedCache.get(keys[0]);
+    }
+
+    @Benchmark
+    public Object trackedGetEveryRead() {
+        return everyReadCache.get(randomKey());
+    }
+
+    @Benchmark
+    public Object trackedGetHotKeyEveryRead() {
+        return everyReadCache.get(keys[0]);
+    }
+
+    // pinning enabled, the key is never hot enough: pays for the extra estimate on every hit
+    @Benchmark
+    public Object trackedGetWithPinningCheck() {
+        return pinningCache.get(randomKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object trackedGetContended() {
+        return trackedCache.get(randomKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object trackedGetHotKeyContended() {
+        return trackedCache.get(keys[0]);
+    }
+
+    private Long randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+    }
+
+    // Answers every key after hashing it, as any real cache has to
+    private static class StubCache implements Cache {
+
+        private final ValueWrapper value = new SimpleValueWrapper("employee");
+        private final ValueWrapper otherValue = new SimpleValueWrapper("other");
+
+        @Override
+        public String getName() {
+            return "employees";
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return this;
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return key.hashCode() != -1 ? value : otherValue;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return type.cast(value.get());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return (T) value.get();
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+        }
+
+        @Override
+        public void evict(Object key) {
+        }
+
+        @Override
+        public void clear() {
+        }
+    }
+}
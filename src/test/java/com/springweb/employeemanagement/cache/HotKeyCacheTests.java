@@ -0,0 +1,164 @@
+package com.springweb.employeemanagement.cache;
+
+import com.springweb.employeemanagement.config.HotKeyProperties;
+import com.springweb.employeemanagement.dto.HotKeyDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotKeyCacheTests {
+
+    private HotKeyProperties properties;
+    private HotKeyTracker tracker;
+    private ConcurrentMapCache delegate;
+    private HotKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HotKeyProperties();
+        properties.setDecayInterval(Duration.ofHours(1));
+        properties.setReadSampleRate(1);
+        properties.getPinning().setEnabled(true);
+        properties.getPinning().setReadThreshold(3);
+        properties.getPinning().setMaxEntries(2);
+        createCache();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.destroy();
+    }
+
+    @Test
+    void recordsReadsMissesAndWrites() {
+        cache.get(1L, () -> "one");
+        cache.get(1L, () -> "one");
+        cache.put(1L, "uno");
+        cache.evict(1L);
+
+        HotKeyDto hotKey = tracker.report().getHotKeys().get(0);
+        assertThat(hotKey.getKey()).isEqualTo("1");
+        assertThat(hotKey.getReads()).isEqualTo(2);
+        assertThat(hotKey.getMisses()).isEqualTo(1);
+        // the loader filling the miss is not a write
+        assertThat(hotKey.getWrites()).isEqualTo(2);
+    }
+
+    @Test
+    void putAfterAFailedLoadIsAWrite() {
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("not found");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        cache.put(1L, "one");
+
+        assertThat(tracker.report().getHotKeys().get(0).getWrites()).isEqualTo(1);
+    }
+
+    @Test
+    void sampledReadsAreCountedForAllReads() {
+        tracker.destroy();
+        properties.setReadSampleRate(4);
+        createCache();
+        delegate.put(1L, "one");
+
+        for (int i = 0; i < 4000; i++) {
+            cache.get(1L);
+        }
+
+        assertThat(tracker.report().getHotKeys().get(0).getReads()).isBetween(3000L, 5000L);
+        // only sampled reads pin, the key still ends up pinned
+        assertThat(tracker.getPinned(1L)).isNotNull();
+    }
+
+    @Test
+    void pinsKeyOnceReadThresholdIsReached() {
+        delegate.put(1L, "one");
+
+        cache.get(1L);
+        cache.get(1L);
+        assertThat(tracker.getPinned(1L)).isNull();
+
+        cache.get(1L);
+        assertThat(tracker.getPinned(1L)).isNotNull();
+
+        // served locally even though the delegate no longer has it
+        delegate.evict(1L);
+        assertThat(cache.get(1L).get()).isEqualTo("one");
+        assertThat(tracker.report().getHotKeys().get(0).isPinned()).isTrue();
+    }
+
+    @Test
+    void putRefreshesPinnedEntry() {
+        pin(1L, "one");
+
+        cache.put(1L, "uno");
+
+        assertThat(tracker.getPinned(1L).get()).isEqualTo("uno");
+        assertThat(cache.get(1L).get()).isEqualTo("uno");
+    }
+
+    @Test
+    void evictUnpins() {
+        pin(1L, "one");
+
+        cache.evict(1L);
+
+        assertThat(tracker.getPinned(1L)).isNull();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void stopsPinningAtMaxEntries() {
+        pin(1L, "one");
+        pin(2L, "two");
+        pin(3L, "three");
+
+        assertThat(tracker.getPinned(1L)).isNotNull();
+        assertThat(tracker.getPinned(2L)).isNotNull();
+        assertThat(tracker.getPinned(3L)).isNull();
+    }
+
+    @Test
+    void pinnedEntryExpiresAfterTtl() throws InterruptedException {
+        tracker.destroy();
+        properties.getPinning().setTtl(Duration.ofMillis(50));
+        createCache();
+        pin(1L, "one");
+
+        Thread.sleep(100);
+
+        assertThat(tracker.getPinned(1L)).isNull();
+    }
+
+    @Test
+    void doesNotPinWhenPinningIsDisabled() {
+        tracker.destroy();
+        properties.getPinning().setEnabled(false);
+        createCache();
+
+        pin(1L, "one");
+
+        assertThat(tracker.getPinned(1L)).isNull();
+    }
+
+    private void createCache() {
+        tracker = new HotKeyTracker(properties);
+        delegate = new ConcurrentMapCache("employees");
+        cache = new HotKeyCache(delegate, tracker);
+    }
+
+    private void pin(Long key, String value) {
+        delegate.put(key, value);
+        for (int i = 0; i < properties.getPinning().getReadThreshold(); i++) {
+            cache.get(key);
+        }
+    }
+}
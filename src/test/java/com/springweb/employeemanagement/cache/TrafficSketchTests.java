@@ -0,0 +1,137 @@
+package com.springweb.employeemanagement.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrafficSketchTests {
+
+    @Test
+    void neverUndercounts() {
+        // narrow on purpose so keys collide
+        TrafficSketch sketch = new TrafficSketch(16, 4);
+        Map<Long, Integer> actual = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long key = random.nextInt(500);
+            sketch.record(key, TrafficSketch.Event.READ);
+            actual.merge(key, 1, Integer::sum);
+        }
+
+        actual.forEach((key, count) ->
+                assertThat(sketch.estimate(key, TrafficSketch.Event.READ)).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void countsEventsSeparately() {
+        TrafficSketch sketch = new TrafficSketch(1024, 4);
+        recordTimes(sketch, 7L, TrafficSketch.Event.READ, 5);
+        recordTimes(sketch, 7L, TrafficSketch.Event.MISS, 2);
+        recordTimes(sketch, 7L, TrafficSketch.Event.WRITE, 1);
+
+        assertThat(sketch.estimate(7L, TrafficSketch.Event.READ)).isEqualTo(5);
+        assertThat(sketch.estimate(7L, TrafficSketch.Event.MISS)).isEqualTo(2);
+        assertThat(sketch.estimate(7L, TrafficSketch.Event.WRITE)).isEqualTo(1);
+    }
+
+    @Test
+    void decayHalvesCounters() {
+        TrafficSketch sketch = new TrafficSketch(1024, 4);
+        recordTimes(sketch, 1L, TrafficSketch.Event.READ, 10);
+        recordTimes(sketch, 1L, TrafficSketch.Event.WRITE, 3);
+
+        sketch.decay();
+
+        assertThat(sketch.estimate(1L, TrafficSketch.Event.READ)).isEqualTo(5);
+        assertThat(sketch.estimate(1L, TrafficSketch.Event.WRITE)).isEqualTo(1);
+    }
+
+    @Test
+    void topKeysAreOrderedByReads() {
+        TrafficSketch sketch = new TrafficSketch(4096, 3);
+        recordTimes(sketch, 1L, TrafficSketch.Event.READ, 10);
+        recordTimes(sketch, 2L, TrafficSketch.Event.READ, 30);
+        recordTimes(sketch, 3L, TrafficSketch.Event.READ, 20);
+        recordTimes(sketch, 4L, TrafficSketch.Event.READ, 1);
+        recordTimes(sketch, 2L, TrafficSketch.Event.MISS, 4);
+
+        List<TrafficSketch.KeyCounts> topKeys = sketch.topKeys(3);
+
+        assertThat(topKeys).extracting(TrafficSketch.KeyCounts::key).containsExactly(2L, 3L, 1L);
+        assertThat(topKeys.get(0)).isEqualTo(new TrafficSketch.KeyCounts(2L, 30, 4, 0));
+    }
+
+    @Test
+    void weightedRecordCountsTheWholeWeight() {
+        TrafficSketch sketch = new TrafficSketch(1024, 4);
+
+        assertThat(sketch.record(5L, TrafficSketch.Event.READ, 8)).isEqualTo(8);
+        assertThat(sketch.record(5L, TrafficSketch.Event.READ, 8)).isEqualTo(16);
+        assertThat(sketch.total(TrafficSketch.Event.READ)).isEqualTo(16);
+    }
+
+    @Test
+    void reportsEveryHotKeyThatSharesACandidateSet() {
+        TrafficSketch sketch = new TrafficSketch(4096, 20);
+        List<Long> sameSet = keysInSet(sketch, sketch.candidateSet(0L), TrafficSketch.WAYS + 20);
+        List<Long> hotKeys = sameSet.subList(0, TrafficSketch.WAYS);
+        List<Long> coldKeys = sameSet.subList(TrafficSketch.WAYS, sameSet.size());
+
+        for (int round = 0; round < 50; round++) {
+            hotKeys.forEach(key -> sketch.record(key, TrafficSketch.Event.READ));
+            // cold keys of the same set keep trying to take a slot
+            sketch.record(coldKeys.get(round % coldKeys.size()), TrafficSketch.Event.READ);
+        }
+
+        assertThat(sketch.topKeys(20)).extracting(TrafficSketch.KeyCounts::key)
+                .containsAll(hotKeys)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void reportsAllEquallyHotKeys() {
+        for (int seed = 0; seed < 50; seed++) {
+            TrafficSketch sketch = new TrafficSketch(4096, 20);
+            Random random = new Random(seed);
+            List<Long> hotKeys = random.longs(20).boxed().toList();
+            for (int round = 0; round < 100; round++) {
+                hotKeys.forEach(key -> sketch.record(key, TrafficSketch.Event.READ));
+                for (int i = 0; i < 10; i++) {
+                    sketch.record(random.nextLong(), TrafficSketch.Event.READ);
+                }
+            }
+
+            assertThat(sketch.topKeys(20)).extracting(TrafficSketch.KeyCounts::key)
+                    .as("seed %d", seed)
+                    .containsExactlyInAnyOrderElementsOf(hotKeys);
+        }
+    }
+
+    @Test
+    void rejectsWidthThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new TrafficSketch(1000, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Long> keysInSet(TrafficSketch sketch, int set, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 0; keys.size() < count; key++) {
+            if (sketch.candidateSet(key) == set) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static void recordTimes(TrafficSketch sketch, Object key, TrafficSketch.Event event, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.record(key, event);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.springweb.employeemanagement.repositories;
+
+import com.springweb.employeemanagement.entities.EmployeeEntity;
+import com.springweb.employeemanagement.sharding.ShardRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ShardedEmployeeRepositoryTests {
+
+    @Autowired
+    private ShardedEmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeEmailIndexRepository emailIndexRepository;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Test
+    void routesEmployeesToTheShardEncodedInTheirId() {
+        List<Long> ids = new ArrayList<>();
+        for (int shard = 0; shard < employeeRepository.getShardCount(); shard++) {
+            EmployeeEntity employee = newEmployee(employeeRepository.nextId(shard), "routing" + shard + "@example.com");
+            employeeRepository.insert(employee);
+            ids.add(employee.getId());
+
+            assertThat(employeeRepository.shardForId(employee.getId())).isEqualTo(shard);
+            assertThat(countOnShard(shard, employee.getId())).isEqualTo(1);
+            assertThat(employeeRepository.findById(employee.getId())).isPresent();
+        }
+
+        assertThat(employeeRepository.findAll())
+                .extracting(EmployeeEntity::getId)
+                .containsSubsequence(ids);
+    }
+
+    @Test
+    void findsLegacyIdentityIdsOnTheFirstShard() {
+        Long legacyId = 70000L;
+        new JdbcTemplate(dataSource.getShard(0)).update(
+                "INSERT INTO employees (id, name, email, age, date_of_joining, is_active, salary, role) "
+                        + "VALUES (?, 'Legacy Employee', 'legacy@example.com', 40, CURRENT_DATE, TRUE, 2000, 'USER')",
+                legacyId);
+
+        assertThat(employeeRepository.shardForId(legacyId)).isZero();
+        assertThat(employeeRepository.findById(legacyId))
+                .map(EmployeeEntity::getEmail)
+                .contains("legacy@example.com");
+    }
+
+    @Test
+    void filtersAcrossShards() {
+        List<Long> adminIds = new ArrayList<>();
+        for (int shard = 0; shard < employeeRepository.getShardCount(); shard++) {
+            EmployeeEntity admin = newEmployee(employeeRepository.nextId(shard), "filter-admin" + shard + "@example.com");
+            admin.setRole("ADMIN");
+            employeeRepository.insert(admin);
+            adminIds.add(admin.getId());
+            employeeRepository.insert(newEmployee(employeeRepository.nextId(shard), "filter-user" + shard + "@example.com"));
+        }
+
+        EmployeeEntity probe = new EmployeeEntity();
+        probe.setRole("ADMIN");
+        List<EmployeeEntity> admins = employeeRepository.findAcrossShards(repository -> repository.findAll(Example.of(probe)));
+
+        assertThat(admins).extracting(EmployeeEntity::getRole).containsOnly("ADMIN");
+        assertThat(admins).extracting(EmployeeEntity::getId).containsSubsequence(adminIds);
+    }
+
+    @Test
+    void emailIsUniqueAcrossShards() {
+        Long firstId = employeeRepository.nextId(0);
+        Long secondId = employeeRepository.nextId(employeeRepository.getShardCount() - 1);
+
+        assertThat(emailIndexRepository.reserve("unique@example.com", firstId)).isTrue();
+        assertThat(emailIndexRepository.reserve("unique@example.com", secondId)).isFalse();
+
+        emailIndexRepository.release("unique@example.com", firstId);
+        assertThat(emailIndexRepository.reserve("unique@example.com", secondId)).isTrue();
+    }
+
+    @Test
+    void emailDirectoryOnlyExistsOnTheDirectoryShard() {
+        for (int shard = 0; shard < employeeRepository.getShardCount(); shard++) {
+            Integer tables = new JdbcTemplate(dataSource.getShard(shard)).queryForObject(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'EMPLOYEE_EMAIL_INDEX'",
+                    Integer.class);
+            assertThat(tables).isEqualTo(shard == EmployeeEmailIndexRepository.DIRECTORY_SHARD ? 1 : 0);
+        }
+    }
+
+    private Integer countOnShard(int shard, Long employeeId) {
+        return new JdbcTemplate(dataSource.getShard(shard))
+                .queryForObject("SELECT COUNT(*) FROM employees WHERE id = ?", Integer.class, employeeId);
+    }
+
+    private EmployeeEntity newEmployee(Long id, String email) {
+        return new EmployeeEntity(id, "Test Employee", email, 30, LocalDate.now(), true, 1000.0, "USER");
+    }
+}
@@ -0,0 +1,200 @@
+package com.springweb.employeemanagement.services;
+
+import com.springweb.employeemanagement.advice.customexceptions.DuplicateResourceException;
+import com.springweb.employeemanagement.advice.customexceptions.ResourceNotFoundException;
+import com.springweb.employeemanagement.dto.EmployeeDto;
+import com.springweb.employeemanagement.entities.EmployeeEntity;
+import com.springweb.employeemanagement.repositories.EmployeeEmailIndexRepository;
+import com.springweb.employeemanagement.repositories.ShardedEmployeeRepository;
+import com.springweb.employeemanagement.sharding.ShardRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest
+class EmployeeServiceImplTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @MockitoSpyBean
+    private ShardedEmployeeRepository employeeRepository;
+
+    @MockitoSpyBean
+    private EmployeeEmailIndexRepository emailIndexRepository;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Test
+    void createRejectsEmailThatExistsOnAnotherShard() {
+        String email = "taken@example.com";
+        int otherShard = (employeeRepository.shardForEmail(email) + 1) % employeeRepository.getShardCount();
+        EmployeeEntity existing = new EmployeeEntity(employeeRepository.nextId(otherShard), "Existing Employee", email,
+                30, LocalDate.now(), true, 1000.0, "USER");
+        emailIndexRepository.reserve(email, existing.getId());
+        employeeRepository.insert(existing);
+
+        assertThatThrownBy(() -> employeeService.createEmployee(newEmployee(email)))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThat(indexedEmployeeId(email)).isEqualTo(existing.getId());
+    }
+
+    @Test
+    void createReleasesEmailWhenInsertFails() {
+        String email = "failed-insert@example.com";
+        doThrow(new DataAccessResourceFailureException("shard unavailable")).when(employeeRepository).insert(any());
+        try {
+            assertThatThrownBy(() -> employeeService.createEmployee(newEmployee(email)))
+                    .isInstanceOf(DataAccessResourceFailureException.class);
+        } finally {
+            reset(employeeRepository);
+        }
+
+        assertThat(indexedEmployeeId(email)).isNull();
+        assertThat(employeeService.createEmployee(newEmployee(email)).getEmail()).isEqualTo(email);
+    }
+
+    @Test
+    void updateReleasesPreviousEmail() {
+        EmployeeDto created = employeeService.createEmployee(newEmployee("before-update@example.com"));
+
+        employeeService.updateEmployee(created.getId(), newEmployee("after-update@example.com"));
+
+        assertThat(indexedEmployeeId("before-update@example.com")).isNull();
+        assertThat(indexedEmployeeId("after-update@example.com")).isEqualTo(created.getId());
+        assertThat(employeeService.getEmployeeById(created.getId()).getEmail()).isEqualTo("after-update@example.com");
+    }
+
+    @Test
+    void partialUpdateReleasesPreviousEmail() {
+        EmployeeDto created = employeeService.createEmployee(newEmployee("before-patch@example.com"));
+
+        employeeService.updatePartialEmployeeById(created.getId(), Map.of("email", "after-patch@example.com"));
+
+        assertThat(indexedEmployeeId("before-patch@example.com")).isNull();
+        assertThat(indexedEmployeeId("after-patch@example.com")).isEqualTo(created.getId());
+    }
+
+    @Test
+    void partialUpdateKeepsEmailWhenNewOneIsTaken() {
+        EmployeeDto first = employeeService.createEmployee(newEmployee("patch-first@example.com"));
+        employeeService.createEmployee(newEmployee("patch-second@example.com"));
+
+        assertThatThrownBy(() -> employeeService.updatePartialEmployeeById(first.getId(),
+                Map.of("email", "patch-second@example.com")))
+                .isInstanceOf(DuplicateResourceException.class);
+
+        assertThat(indexedEmployeeId("patch-first@example.com")).isEqualTo(first.getId());
+        assertThat(employeeService.getEmployeeById(first.getId()).getEmail()).isEqualTo("patch-first@example.com");
+    }
+
+    @Test
+    void partialUpdateReleasesNewEmailWhenALaterFieldIsInvalid() {
+        EmployeeDto created = employeeService.createEmployee(newEmployee("patch-invalid@example.com"));
+
+        assertThatThrownBy(() -> employeeService.updatePartialEmployeeById(created.getId(),
+                Map.of("email", "patch-invalid-new@example.com", "age", "abc")))
+                .isInstanceOf(ClassCastException.class);
+
+        assertThat(indexedEmployeeId("patch-invalid-new@example.com")).isNull();
+        assertThat(indexedEmployeeId("patch-invalid@example.com")).isEqualTo(created.getId());
+        assertThat(employeeService.getEmployeeById(created.getId()).getEmail()).isEqualTo("patch-invalid@example.com");
+    }
+
+    @Test
+    void updateReservesNewEmailBeforeTheShardTransactionOpens() {
+        EmployeeDto created = employeeService.createEmployee(newEmployee("reserve-early@example.com"));
+        List<Boolean> reservedInTransaction = new ArrayList<>();
+        doAnswer(invocation -> {
+            reservedInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(emailIndexRepository).reserve(any(), any());
+        try {
+            employeeService.updateEmployee(created.getId(), newEmployee("reserve-early-new@example.com"));
+            employeeService.updatePartialEmployeeById(created.getId(), Map.of("email", "reserve-early-patch@example.com"));
+        } finally {
+            reset(emailIndexRepository);
+        }
+
+        assertThat(reservedInTransaction).containsExactly(false, false);
+    }
+
+    @Test
+    void updateKeepsNewEmailWhenReleasingThePreviousOneFails() {
+        EmployeeDto created = employeeService.createEmployee(newEmployee("release-fails@example.com"));
+        doThrow(new DataAccessResourceFailureException("directory unavailable"))
+                .when(emailIndexRepository).release("release-fails@example.com", created.getId());
+        try {
+            EmployeeDto updated = employeeService.updatePartialEmployeeById(created.getId(),
+                    Map.of("email", "release-fails-new@example.com"));
+            assertThat(updated.getEmail()).isEqualTo("release-fails-new@example.com");
+        } finally {
+            reset(emailIndexRepository);
+        }
+
+        assertThat(indexedEmployeeId("release-fails-new@example.com")).isEqualTo(created.getId());
+        assertThat(indexedEmployeeId("release-fails@example.com")).isEqualTo(created.getId());
+
+        // the employee can take its orphaned email back
+        employeeService.updatePartialEmployeeById(created.getId(), Map.of("email", "release-fails@example.com"));
+        assertThat(indexedEmployeeId("release-fails-new@example.com")).isNull();
+    }
+
+    @Test
+    void deleteSucceedsWhenReleasingTheEmailFails() {
+        EmployeeDto created = employeeService.createEmployee(newEmployee("delete-release-fails@example.com"));
+        doThrow(new DataAccessResourceFailureException("directory unavailable"))
+                .when(emailIndexRepository).release(any(), any());
+        try {
+            employeeService.deleteEmployee(created.getId());
+        } finally {
+            reset(emailIndexRepository);
+        }
+
+        assertThatThrownBy(() -> employeeService.getEmployeeById(created.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Long indexedEmployeeId(String email) {
+        return new JdbcTemplate(dataSource.getShard(0)).query(
+                "SELECT employee_id FROM employee_email_index WHERE email = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, email);
+    }
+
+    private EmployeeDto newEmployee(String email) {
+        return new EmployeeDto(null, "Test Employee", email, 30, LocalDate.now(), true, 1000.0, "USER");
+    }
+
+    // the service tests run without Redis
+    @TestConfiguration
+    static class NoCacheConfig {
+
+        @Bean
+        @Primary
+        CacheManager testCacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+}
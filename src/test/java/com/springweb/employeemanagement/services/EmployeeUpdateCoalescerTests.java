@@ -0,0 +1,274 @@
+package com.springweb.employeemanagement.services;
+
+import com.springweb.employeemanagement.advice.customexceptions.DuplicateResourceException;
+import com.springweb.employeemanagement.config.WriteCoalescingProperties;
+import com.springweb.employeemanagement.dto.EmployeeDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeUpdateCoalescerTests {
+
+    private static final Long EMPLOYEE_ID = 1L;
+    private static final Long OTHER_EMPLOYEE_ID = 2L;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private RecordingEmployeeService employeeService;
+    private EmployeeUpdateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = new RecordingEmployeeService();
+        WriteCoalescingProperties properties = new WriteCoalescingProperties();
+        properties.setEnabled(true);
+        properties.setWindow(Duration.ofMillis(200));
+        coalescer = new EmployeeUpdateCoalescer(employeeService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void singleUpdateIsAppliedAsIs() {
+        EmployeeDto result = coalescer.updatePartialEmployeeById(EMPLOYEE_ID, Map.of("age", 31));
+
+        assertThat(employeeService.calls).containsExactly(Map.of("age", 31));
+        assertThat(result.getAge()).isEqualTo(31);
+    }
+
+    @Test
+    void mergesDisjointUpdatesInArrivalOrder() throws Exception {
+        CompletableFuture<EmployeeDto> first = submit(Map.of("isActive", false), 1);
+        CompletableFuture<EmployeeDto> second = submit(Map.of("age", 31), 2);
+
+        EmployeeDto firstResult = first.get(5, TimeUnit.SECONDS);
+        EmployeeDto secondResult = second.get(5, TimeUnit.SECONDS);
+
+        assertThat(employeeService.calls).hasSize(1);
+        assertThat(employeeService.calls.get(0).keySet()).containsExactly("isActive", "age");
+        assertThat(firstResult).isSameAs(secondResult);
+        assertThat(firstResult.getAge()).isEqualTo(31);
+        assertThat(firstResult.getIsActive()).isFalse();
+    }
+
+    @Test
+    void replaysOverlappingUpdatesOneByOne() throws Exception {
+        CompletableFuture<EmployeeDto> first = submit(Map.of("email", "taken@example.com"), 1);
+        CompletableFuture<EmployeeDto> second = submit(Map.of("email", "free@example.com"), 2);
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DuplicateResourceException.class);
+        assertThat(second.get(5, TimeUnit.SECONDS).getEmail()).isEqualTo("free@example.com");
+        assertThat(employeeService.calls).containsExactly(
+                Map.of("email", "taken@example.com"),
+                Map.of("email", "free@example.com"));
+    }
+
+    @Test
+    void replaysBatchOneByOneWhenMergedUpdateFails() throws Exception {
+        CompletableFuture<EmployeeDto> first = submit(Map.of("age", "abc"), 1);
+        CompletableFuture<EmployeeDto> second = submit(Map.of("name", "New Name"), 2);
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ClassCastException.class);
+        assertThat(second.get(5, TimeUnit.SECONDS).getName()).isEqualTo("New Name");
+        assertThat(employeeService.calls).containsExactly(
+                Map.of("age", "abc", "name", "New Name"),
+                Map.of("age", "abc"),
+                Map.of("name", "New Name"));
+    }
+
+    @Test
+    void consecutiveBatchesForTheSameIdStayInOrder() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        employeeService.beforeUpdate = updates -> {
+            if (updates.containsKey("name")) {
+                firstBatchStarted.countDown();
+                await(releaseFirstBatch);
+            }
+            return null;
+        };
+
+        CompletableFuture<EmployeeDto> first = submit(Map.of("name", "First Batch"), 1);
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the first batch is being applied, so this one starts a new batch
+        CompletableFuture<EmployeeDto> second = submit(Map.of("age", 40), 1);
+        Thread.sleep(400);
+        assertThat(second).isNotDone();
+        releaseFirstBatch.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getName()).isEqualTo("First Batch");
+        assertThat(second.get(5, TimeUnit.SECONDS).getAge()).isEqualTo(40);
+        assertThat(employeeService.calls).containsExactly(Map.of("name", "First Batch"), Map.of("age", 40));
+    }
+
+    @Test
+    void otherEmployeesDoNotWaitBehindASlowUpdate() throws Exception {
+        CountDownLatch slowUpdateStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowUpdate = new CountDownLatch(1);
+        employeeService.beforeUpdate = updates -> {
+            if (updates.containsKey("name")) {
+                slowUpdateStarted.countDown();
+                await(releaseSlowUpdate);
+            }
+            return null;
+        };
+
+        CompletableFuture<EmployeeDto> slow = submit(EMPLOYEE_ID, Map.of("name", "Slow Update"), 1);
+        assertThat(slowUpdateStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<EmployeeDto> other = submit(OTHER_EMPLOYEE_ID, Map.of("age", 40), 1);
+        assertThat(other.get(5, TimeUnit.SECONDS).getAge()).isEqualTo(40);
+        assertThat(slow).isNotDone();
+
+        releaseSlowUpdate.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Slow Update");
+    }
+
+    @Test
+    void callerIsReleasedWhenTheBatchDiesWithAnError() {
+        employeeService.beforeUpdate = updates -> {
+            throw new AssertionError("flush died");
+        };
+
+        assertThatThrownBy(() -> coalescer.updatePartialEmployeeById(EMPLOYEE_ID, Map.of("age", 31)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void callerGivesUpAfterTheTimeout() {
+        CountDownLatch releaseUpdate = new CountDownLatch(1);
+        employeeService.beforeUpdate = updates -> {
+            await(releaseUpdate);
+            return null;
+        };
+        WriteCoalescingProperties properties = new WriteCoalescingProperties();
+        properties.setEnabled(true);
+        properties.setWindow(Duration.ofMillis(10));
+        properties.setTimeout(Duration.ofMillis(300));
+        EmployeeUpdateCoalescer impatientCoalescer = new EmployeeUpdateCoalescer(employeeService, properties);
+        try {
+            assertThatThrownBy(() -> impatientCoalescer.updatePartialEmployeeById(EMPLOYEE_ID, Map.of("age", 31)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+        } finally {
+            releaseUpdate.countDown();
+            impatientCoalescer.shutdown();
+        }
+    }
+
+    private CompletableFuture<EmployeeDto> submit(Map<String, Object> updates, int expectedPending) throws InterruptedException {
+        return submit(EMPLOYEE_ID, updates, expectedPending);
+    }
+
+    private CompletableFuture<EmployeeDto> submit(Long employeeId, Map<String, Object> updates, int expectedPending)
+            throws InterruptedException {
+        CompletableFuture<EmployeeDto> result = CompletableFuture.supplyAsync(
+                () -> coalescer.updatePartialEmployeeById(employeeId, updates), callers);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.pendingCount(employeeId) < expectedPending && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return result;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Applies updates to an in-memory employee the way EmployeeServiceImpl does
+    private static class RecordingEmployeeService implements EmployeeService {
+
+        private final List<Map<String, Object>> calls = Collections.synchronizedList(new ArrayList<>());
+        private final EmployeeDto employee = new EmployeeDto(EMPLOYEE_ID, "Test Employee", "old@example.com",
+                30, null, true, 1000.0, "USER");
+        private volatile Function<Map<String, Object>, Void> beforeUpdate = updates -> null;
+
+        @Override
+        public EmployeeDto updatePartialEmployeeById(Long employeeId, Map<String, Object> updates) {
+            calls.add(new LinkedHashMap<>(updates));
+            beforeUpdate.apply(updates);
+            return applyUpdates(updates);
+        }
+
+        private synchronized EmployeeDto applyUpdates(Map<String, Object> updates) {
+
+            EmployeeDto updated = new EmployeeDto(employee.getId(), employee.getName(), employee.getEmail(),
+                    employee.getAge(), employee.getDateOfJoining(), employee.getIsActive(), employee.getSalary(),
+                    employee.getRole());
+            if (updates.get("name") != null) {
+                updated.setName((String) updates.get("name"));
+            }
+            if (updates.get("email") != null) {
+                if ("taken@example.com".equals(updates.get("email"))) {
+                    throw new DuplicateResourceException("Email taken@example.com is already in use");
+                }
+                updated.setEmail((String) updates.get("email"));
+            }
+            if (updates.get("age") != null) {
+                updated.setAge((Integer) updates.get("age"));
+            }
+            if (updates.get("isActive") != null) {
+                updated.setIsActive((Boolean) updates.get("isActive"));
+            }
+
+            employee.setName(updated.getName());
+            employee.setEmail(updated.getEmail());
+            employee.setAge(updated.getAge());
+            employee.setIsActive(updated.getIsActive());
+            return updated;
+        }
+
+        @Override
+        public List<EmployeeDto> getAllEmployees() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EmployeeDto getEmployeeById(Long employeeId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EmployeeDto createEmployee(EmployeeDto employeeDto) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EmployeeDto updateEmployee(Long employeeId, EmployeeDto updatedEmployee) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteEmployee(Long employeeId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}